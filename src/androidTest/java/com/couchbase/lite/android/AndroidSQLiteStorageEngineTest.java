@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2016 Couchbase, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.couchbase.lite.android;
+
+import android.os.Build;
+
+import com.couchbase.lite.LiteTestCase;
+
+public class AndroidSQLiteStorageEngineTest extends LiteTestCase {
+
+    public void testDefaultWALConnectionPoolSize() {
+        AndroidSQLiteStorageEngine engine = new AndroidSQLiteStorageEngine(getContext());
+        int expected = Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP ? 1 : 4;
+        assertEquals(expected, engine.getWALConnectionPoolSize());
+    }
+
+    public void testConfiguredWALConnectionPoolSize() {
+        AndroidSQLiteStorageEngine engine = new AndroidSQLiteStorageEngine(getContext(), 8);
+        // Below LOLLIPOP the single-connection SQLCipher workaround always applies:
+        int expected = Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP ? 1 : 8;
+        assertEquals(expected, engine.getWALConnectionPoolSize());
+
+        try {
+            new AndroidSQLiteStorageEngine(getContext(), -1);
+            fail("Negative pool size should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testWALConnectionPoolSizeFromContext() throws Exception {
+        AndroidContext context = new AndroidContext(getContext());
+        assertEquals(AndroidSQLiteStorageEngine.DEFAULT_WAL_CONNECTION_POOL_SIZE,
+                context.getWALConnectionPoolSize());
+
+        context.setWALConnectionPoolSize(2);
+        AndroidSQLiteStorageEngine engine = (AndroidSQLiteStorageEngine)
+                context.getSQLiteStorageEngineFactory().createStorageEngine();
+        int expected = Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP ? 1 : 2;
+        assertEquals(expected, engine.getWALConnectionPoolSize());
+
+        try {
+            context.setWALConnectionPoolSize(-1);
+            fail("Negative pool size should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
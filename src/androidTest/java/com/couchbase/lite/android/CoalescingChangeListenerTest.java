@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2016 Couchbase, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.couchbase.lite.android;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+
+import com.couchbase.lite.Database;
+import com.couchbase.lite.LiteTestCaseWithDB;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoalescingChangeListenerTest extends LiteTestCaseWithDB {
+    private HandlerThread handlerThread;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        handlerThread = new HandlerThread("CoalescingChangeListenerTest");
+        handlerThread.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        handlerThread.quit();
+        super.tearDown();
+    }
+
+    /**
+     * Non-transactional inserts produce one ChangeEvent each (see
+     * DatabaseTest.testChangeListenerNotification). Coalesced, they should arrive in fewer
+     * events without losing any change.
+     */
+    public void testCoalesceNonTransactionalInserts() throws Exception {
+        final int numDocs = 50;
+        final AtomicInteger events = new AtomicInteger(0);
+        final AtomicInteger changes = new AtomicInteger(0);
+        final CountDownLatch allChanges = new CountDownLatch(numDocs);
+
+        Database.ChangeListener listener = new CoalescingChangeListener(
+                new Database.ChangeListener() {
+                    @Override
+                    public void changed(Database.ChangeEvent event) {
+                        events.incrementAndGet();
+                        for (int i = 0; i < event.getChanges().size(); i++) {
+                            changes.incrementAndGet();
+                            allChanges.countDown();
+                        }
+                    }
+                }, handlerThread.getLooper(), 500, 1000);
+        database.addChangeListener(listener);
+
+        createDocuments(database, numDocs, false);
+
+        assertTrue(allChanges.await(30, TimeUnit.SECONDS));
+        assertEquals(numDocs, changes.get());
+        assertTrue(events.get() < numDocs);
+        database.removeChangeListener(listener);
+    }
+
+    public void testMaxBatchSize() throws Exception {
+        final int numDocs = 20;
+        final int maxBatchSize = 5;
+        final AtomicInteger largestBatch = new AtomicInteger(0);
+        final CountDownLatch allChanges = new CountDownLatch(numDocs);
+
+        Database.ChangeListener listener = new CoalescingChangeListener(
+                new Database.ChangeListener() {
+                    @Override
+                    public void changed(Database.ChangeEvent event) {
+                        int size = event.getChanges().size();
+                        if (size > largestBatch.get())
+                            largestBatch.set(size);
+                        for (int i = 0; i < size; i++)
+                            allChanges.countDown();
+                    }
+                }, handlerThread.getLooper(), 60 * 1000, maxBatchSize);
+        database.addChangeListener(listener);
+
+        createDocuments(database, numDocs, false);
+
+        // The delay is far longer than the test, so every change must have been delivered
+        // because a batch filled up.
+        assertTrue(allChanges.await(30, TimeUnit.SECONDS));
+        assertEquals(maxBatchSize, largestBatch.get());
+        database.removeChangeListener(listener);
+    }
+
+    /**
+     * A transaction produces a single ChangeEvent with one change per document. Events must be
+     * split so that no delivered batch exceeds maxBatchSize, and pending changes must be
+     * delivered first when the incoming event would not fit with them.
+     */
+    public void testMaxBatchSizeWithTransactions() throws Exception {
+        final int maxBatchSize = 5;
+        final int numNonTransactional = 3;
+        final int numTransactional = 12;
+        final int numDocs = numNonTransactional + numTransactional;
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch allChanges = new CountDownLatch(numDocs);
+
+        Database.ChangeListener listener = new CoalescingChangeListener(
+                new Database.ChangeListener() {
+                    @Override
+                    public void changed(Database.ChangeEvent event) {
+                        int size = event.getChanges().size();
+                        batchSizes.add(size);
+                        for (int i = 0; i < size; i++)
+                            allChanges.countDown();
+                    }
+                }, handlerThread.getLooper(), 500, maxBatchSize);
+        database.addChangeListener(listener);
+
+        // 3 pending changes, then a transaction of 12 that does not fit with them:
+        createDocuments(database, numNonTransactional, false);
+        createDocuments(database, numTransactional);
+
+        assertTrue(allChanges.await(30, TimeUnit.SECONDS));
+        int total = 0;
+        for (int size : batchSizes) {
+            assertTrue(size <= maxBatchSize);
+            total += size;
+        }
+        assertEquals(numDocs, total);
+        assertEquals(numNonTransactional, batchSizes.get(0).intValue());
+        database.removeChangeListener(listener);
+    }
+
+    public void testFlushOnRemove() throws Exception {
+        final int numDocs = 10;
+        final AtomicInteger changes = new AtomicInteger(0);
+
+        CoalescingChangeListener listener = new CoalescingChangeListener(
+                new Database.ChangeListener() {
+                    @Override
+                    public void changed(Database.ChangeEvent event) {
+                        changes.addAndGet(event.getChanges().size());
+                    }
+                }, handlerThread.getLooper(), 60 * 1000, 1000);
+        database.addChangeListener(listener);
+        createDocuments(database, numDocs, false);
+
+        database.removeChangeListener(listener);
+        listener.flush();
+        waitForHandler();
+        assertEquals(numDocs, changes.get());
+    }
+
+    public void testCancelOnRemove() throws Exception {
+        final AtomicInteger events = new AtomicInteger(0);
+
+        CoalescingChangeListener listener = new CoalescingChangeListener(
+                new Database.ChangeListener() {
+                    @Override
+                    public void changed(Database.ChangeEvent event) {
+                        events.incrementAndGet();
+                    }
+                }, handlerThread.getLooper(), 60 * 1000, 1000);
+        database.addChangeListener(listener);
+
+        // Block the handler thread so that a flushed delivery stays queued behind it:
+        final CountDownLatch release = new CountDownLatch(1);
+        new Handler(handlerThread.getLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        createDocuments(database, 10, false);
+        listener.flush();
+        createDocuments(database, 10, false);
+
+        database.removeChangeListener(listener);
+        listener.cancel();
+        release.countDown();
+
+        // Neither the already posted delivery nor the pending changes may reach the listener:
+        waitForHandler();
+        assertEquals(0, events.get());
+    }
+
+    /**
+     * Waits until everything posted to the handler thread so far has run.
+     */
+    private void waitForHandler() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Handler(handlerThread.getLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+    }
+}
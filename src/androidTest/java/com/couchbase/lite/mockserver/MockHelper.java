@@ -70,6 +70,27 @@ public class MockHelper {
                 numDocsPerChangesResponse).getMockWebServer();
     }
 
+    /**
+     * Get a "preloaded" mock Sync Gateway suitable to be used as a pull replication target.
+     * Unlike getPreloadedPullTargetMockCouchDB(), documents are also served through _bulk_get.
+     *
+     * @param dispatcher                the MockDispatcher
+     * @param numMockDocsToServe        how many docs should be served to pull replicator?
+     * @param numDocsPerChangesResponse how many docs to add to each _changes response?  MAXINT for all.
+     * @param bulkGetDelayMs            simulated latency of each _bulk_get response
+     */
+    public static MockWebServer getPreloadedPullTargetMockSyncGateway(MockDispatcher dispatcher,
+                                                                      int numMockDocsToServe,
+                                                                      int numDocsPerChangesResponse,
+                                                                      long bulkGetDelayMs) {
+        dispatcher.setServerType(MockDispatcher.ServerType.SYNC_GW);
+        MockPreloadedPullTarget target = new MockPreloadedPullTarget(dispatcher,
+                numMockDocsToServe, numDocsPerChangesResponse);
+        target.setBulkGetSupported(true);
+        target.setBulkGetDelayMs(bulkGetDelayMs);
+        return target.getMockWebServer();
+    }
+
     public static void set200OKJson(MockResponse mockResponse) {
         mockResponse.setStatus("HTTP/1.1 200 OK")
                 .setHeader("Content-Type", "application/json");
@@ -23,6 +23,8 @@ public class MockPreloadedPullTarget {
     protected MockDispatcher dispatcher;
     protected int numMockDocsToServe;
     protected int numDocsPerChangesResponse;
+    protected boolean bulkGetSupported = false;
+    protected long bulkGetDelayMs = 0;
 
 
     public MockPreloadedPullTarget(MockDispatcher dispatcher, int numMockDocsToServe, int numDocsPerChangesResponse) {
@@ -31,6 +33,21 @@ public class MockPreloadedPullTarget {
         this.numDocsPerChangesResponse = numDocsPerChangesResponse;
     }
 
+    /**
+     * Also serve the documents through _bulk_get, as Sync Gateway does. The dispatcher should
+     * be set to ServerType.SYNC_GW so that the puller uses it.
+     */
+    public void setBulkGetSupported(boolean bulkGetSupported) {
+        this.bulkGetSupported = bulkGetSupported;
+    }
+
+    /**
+     * Simulated server latency added to every _bulk_get response.
+     */
+    public void setBulkGetDelayMs(long bulkGetDelayMs) {
+        this.bulkGetDelayMs = bulkGetDelayMs;
+    }
+
     public MockWebServer getMockWebServer() {
 
         MockWebServer server = MockHelper.getMockWebServer(dispatcher);
@@ -53,6 +70,16 @@ public class MockPreloadedPullTarget {
             dispatcher.enqueueResponse(mockDoc.getDocPathRegex(), mockDocumentGet.generateMockResponse());
         }
 
+        // for _bulk_get
+        if (bulkGetSupported) {
+            MockDocumentBulkGet bulkGet = new MockDocumentBulkGet();
+            for (MockDocumentGet.MockDocument mockDoc : mockDocs)
+                bulkGet.addDocument(mockDoc);
+            bulkGet.setDelayMs(bulkGetDelayMs);
+            bulkGet.setSticky(true);
+            dispatcher.enqueueResponse(MockHelper.PATH_REGEX_BULK_GET, bulkGet);
+        }
+
         // for _all_docs
         MockDocumentAllDocs allDocs = new MockDocumentAllDocs(mockDocs);
         allDocs.setSticky(true);
@@ -33,6 +33,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -153,6 +155,14 @@ public class PerformanceTestCase extends LiteTestCase {
         return System.getProperty("encryptionPassword");
     }
 
+    protected static int getWarmupRounds() {
+        return Integer.parseInt(System.getProperty("warmupRounds", "0"));
+    }
+
+    protected static int getMeasuredRounds() {
+        return Math.max(1, Integer.parseInt(System.getProperty("measuredRounds", "1")));
+    }
+
     protected Database startDatabase() throws Exception {
         database = ensureEmptyDatabase(DEFAULT_TEST_DB);
         return database;
@@ -216,4 +226,73 @@ public class PerformanceTestCase extends LiteTestCase {
         Log.v((tag != null ? tag : TAG), "PerformanceStats: " + time + " msec" +
                 (comment != null ? " (" + comment + ")" : ""));
     }
+
+    /**
+     * A unit of work measured by measurePerformance(). setUp() runs before every round, outside
+     * the timed region, and must bring the database back to the same starting state so that
+     * each round measures the same work.
+     */
+    protected static abstract class PerformanceTask {
+        protected void setUp() throws Exception {
+        }
+
+        public abstract void run() throws Exception;
+    }
+
+    /**
+     * Runs the task for the configured number of warmup rounds (not reported) followed by the
+     * configured number of measured rounds, then logs the distribution of the measured times.
+     */
+    protected void measurePerformance(PerformanceTask task, String comment) throws Exception {
+        for (int i = 0; i < getWarmupRounds(); i++) {
+            task.setUp();
+            task.run();
+        }
+
+        long[] times = new long[getMeasuredRounds()];
+        for (int i = 0; i < times.length; i++) {
+            task.setUp();
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        logPerformanceStats(times, comment);
+    }
+
+    /**
+     * Closes and reopens the test database so that the next read starts with an empty
+     * document cache.
+     */
+    protected void reopenDatabase() throws Exception {
+        database.close();
+        database = manager.getDatabase(DEFAULT_TEST_DB);
+    }
+
+    protected void logPerformanceStats(long[] nanoTimes, String comment) {
+        if (nanoTimes.length == 1) {
+            logPerformanceStats(TimeUnit.NANOSECONDS.toMillis(nanoTimes[0]), comment);
+            return;
+        }
+
+        long[] sorted = nanoTimes.clone();
+        Arrays.sort(sorted);
+        String tag = getTestTag();
+        Log.v((tag != null ? tag : TAG), String.format(Locale.ENGLISH,
+                "PerformanceStats: rounds=%d min=%.3f p50=%.3f p90=%.3f max=%.3f msec%s",
+                sorted.length,
+                toMillis(sorted[0]),
+                toMillis(percentile(sorted, 50)),
+                toMillis(percentile(sorted, 90)),
+                toMillis(sorted[sorted.length - 1]),
+                (comment != null ? " (" + comment + ")" : "")));
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
 }
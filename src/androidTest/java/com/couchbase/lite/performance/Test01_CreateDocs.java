@@ -19,7 +19,9 @@ package com.couchbase.lite.performance;
 
 import com.couchbase.lite.CouchbaseLiteException;
 import com.couchbase.lite.Document;
+import com.couchbase.lite.Status;
 import com.couchbase.lite.TransactionalTask;
+import com.couchbase.lite.internal.RevisionInternal;
 import com.couchbase.lite.util.Log;
 
 import java.util.Arrays;
@@ -42,27 +44,77 @@ public class Test01_CreateDocs extends PerformanceTestCase {
         Arrays.fill(chars, 'a');
         final String content = new String(chars);
 
-        long start = System.currentTimeMillis();
-        boolean success = database.runInTransaction(new TransactionalTask() {
-            public boolean run() {
-                for (int i = 0; i < getNumberOfDocuments(); i++) {
-                    try {
-                        Map<String, Object> props = new HashMap<String, Object>();
-                        props.put("content", content);
-                        Document doc = database.createDocument();
-                        doc.putProperties(props);
-                    } catch (CouchbaseLiteException e) {
-                        Log.e(TAG, "Error when creating a document", e);
-                        return false;
+        measurePerformance(new PerformanceTask() {
+            @Override
+            protected void setUp() throws Exception {
+                // Every round inserts into an empty database:
+                startDatabase();
+            }
+
+            @Override
+            public void run() throws Exception {
+                boolean success = database.runInTransaction(new TransactionalTask() {
+                    public boolean run() {
+                        for (int i = 0; i < getNumberOfDocuments(); i++) {
+                            try {
+                                Map<String, Object> props = new HashMap<String, Object>();
+                                props.put("content", content);
+                                Document doc = database.createDocument();
+                                doc.putProperties(props);
+                            } catch (CouchbaseLiteException e) {
+                                Log.e(TAG, "Error when creating a document", e);
+                                return false;
+                            }
+                        }
+                        return true;
                     }
-                }
-                return true;
+                });
+                assertTrue(success);
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfDocument());
+    }
+
+    /**
+     * Same workload as testCreateDocsPerformance() but inserts the revisions directly through
+     * Database.putRevision(), skipping the Document/UnsavedRevision layer. The difference between
+     * the two results is the per-document overhead of the public API.
+     */
+    public void testCreateDocsWithoutDocumentPerformance() throws Exception {
+        if (!performanceTestsEnabled())
+            return;
+
+        char[] chars = new char[getSizeOfDocument()];
+        Arrays.fill(chars, 'a');
+        final String content = new String(chars);
+
+        measurePerformance(new PerformanceTask() {
+            @Override
+            protected void setUp() throws Exception {
+                // Every round inserts into an empty database, as in testCreateDocsPerformance():
+                startDatabase();
             }
-        });
-        assertTrue(success);
 
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + ", " + getSizeOfDocument());
+            @Override
+            public void run() throws Exception {
+                boolean success = database.runInTransaction(new TransactionalTask() {
+                    public boolean run() {
+                        Status status = new Status();
+                        for (int i = 0; i < getNumberOfDocuments(); i++) {
+                            try {
+                                Map<String, Object> props = new HashMap<String, Object>();
+                                props.put("content", content);
+                                database.putRevision(new RevisionInternal(props), null, false, status);
+                            } catch (CouchbaseLiteException e) {
+                                Log.e(TAG, "Error when inserting a revision", e);
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                });
+                assertTrue(success);
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfDocument());
     }
 
     private int getSizeOfDocument() {
@@ -39,15 +39,23 @@ public class Test02_CreateDocsNoTransaction extends PerformanceTestCase {
         Arrays.fill(chars, 'a');
         final String content = new String(chars);
 
-        long start = System.currentTimeMillis();
-        for (int i = 0; i < getNumberOfDocuments(); i++) {
-            Map<String, Object> props = new HashMap<String, Object>();
-            props.put("content", content);
-            Document doc = database.createDocument();
-            doc.putProperties(props);
-        }
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + ", " + getSizeOfDocument());
+        measurePerformance(new PerformanceTask() {
+            @Override
+            protected void setUp() throws Exception {
+                // Every round inserts into an empty database:
+                startDatabase();
+            }
+
+            @Override
+            public void run() throws Exception {
+                for (int i = 0; i < getNumberOfDocuments(); i++) {
+                    Map<String, Object> props = new HashMap<String, Object>();
+                    props.put("content", content);
+                    Document doc = database.createDocument();
+                    doc.putProperties(props);
+                }
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfDocument());
     }
 
     private int getSizeOfDocument() {
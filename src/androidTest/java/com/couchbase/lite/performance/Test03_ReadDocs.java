@@ -53,6 +53,7 @@ public class Test03_ReadDocs extends PerformanceTestCase {
             public boolean run() {
                 for (int i = 0; i < getNumberOfDocuments(); i++) {
                     Map<String, Object> props = new HashMap<String, Object>();
+                    props.put("type", "perftest");
                     props.put("content", content);
                     Document doc = database.createDocument();
                     try {
@@ -77,16 +78,52 @@ public class Test03_ReadDocs extends PerformanceTestCase {
         if (!performanceTestsEnabled())
             return;
 
-        long start = System.currentTimeMillis();
-        for(String docId : docIds) {
-            Document doc = database.getDocument(docId);
-            assertNotNull(doc);
-            Map<String,Object> properties = doc.getProperties();
-            assertNotNull(properties);
-            assertNotNull(properties.get("content"));
-        }
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + ", " + getSizeOfDocument());
+        measurePerformance(new PerformanceTask() {
+            @Override
+            protected void setUp() throws Exception {
+                // Start every round with an empty document cache:
+                reopenDatabase();
+            }
+
+            @Override
+            public void run() throws Exception {
+                for (String docId : docIds) {
+                    Document doc = database.getDocument(docId);
+                    assertNotNull(doc);
+                    Map<String, Object> properties = doc.getProperties();
+                    assertNotNull(properties);
+                    assertNotNull(properties.get("content"));
+                }
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfDocument());
+    }
+
+    /**
+     * Reads a single small property from each document, as a list view or a type check in a
+     * map function would. Every round starts from a cold document cache. With JSON bodies this
+     * still decodes the whole document, so the result is close to testReadDocsPerformance(); a
+     * lazily decoded body format would separate them.
+     */
+    public void testReadSinglePropertyPerformance() throws Exception {
+        if (!performanceTestsEnabled())
+            return;
+
+        measurePerformance(new PerformanceTask() {
+            @Override
+            protected void setUp() throws Exception {
+                // Start every round with an empty document cache:
+                reopenDatabase();
+            }
+
+            @Override
+            public void run() throws Exception {
+                for (String docId : docIds) {
+                    Document doc = database.getDocument(docId);
+                    assertNotNull(doc);
+                    assertEquals("perftest", doc.getProperty("type"));
+                }
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfDocument());
     }
 
     private int getSizeOfDocument() {
@@ -88,23 +88,34 @@ public class Test05_ReadAttachments extends PerformanceTestCase {
         if (!performanceTestsEnabled())
             return;
 
-        long start = System.currentTimeMillis();
-        for (Document doc : docs) {
-            Attachment att = doc.getCurrentRevision().getAttachment("attach");
-            assertNotNull(att);
-
-            InputStream is = att.getContent();
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            int nRead;
-            byte[] data = new byte[1024];
-            while ((nRead = is.read(data, 0, data.length)) != -1)
-                buffer.write(data, 0, nRead);
-            buffer.flush();
-            byte[] bytes = buffer.toByteArray();
-            assert (bytes.length > 0);
-        }
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + ", " + getSizeOfAttachment());
+        measurePerformance(new PerformanceTask() {
+            @Override
+            protected void setUp() throws Exception {
+                // Start every round with an empty document cache and unloaded revisions:
+                reopenDatabase();
+                for (int i = 0; i < docs.length; i++)
+                    docs[i] = database.getDocument(docs[i].getId());
+            }
+
+            @Override
+            public void run() throws Exception {
+                for (Document doc : docs) {
+                    Attachment att = doc.getCurrentRevision().getAttachment("attach");
+                    assertNotNull(att);
+
+                    InputStream is = att.getContent();
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    int nRead;
+                    byte[] data = new byte[1024];
+                    while ((nRead = is.read(data, 0, data.length)) != -1)
+                        buffer.write(data, 0, nRead);
+                    buffer.flush();
+                    is.close();
+                    byte[] bytes = buffer.toByteArray();
+                    assert (bytes.length > 0);
+                }
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfAttachment());
     }
 
     private int getSizeOfAttachment() {
@@ -22,10 +22,12 @@ import com.couchbase.lite.Document;
 import com.couchbase.lite.Emitter;
 import com.couchbase.lite.Mapper;
 import com.couchbase.lite.Reducer;
+import com.couchbase.lite.Status;
 import com.couchbase.lite.TransactionalTask;
 import com.couchbase.lite.View;
 import com.couchbase.lite.util.Log;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -99,6 +101,63 @@ public class Test12_IndexView extends PerformanceTestCase {
         logPerformanceStats((end - start), getNumberOfDocuments() + "");
     }
 
+    /**
+     * Indexes test12.numberOfViews views with the same map function one at a time with
+     * updateIndexAlone(). Baseline for testGroupedViewIndexPerformance; each test gets a fresh
+     * database from setUp(), so neither one runs against a cache warmed by the other.
+     */
+    public void testSeparateViewIndexPerformance() throws CouchbaseLiteException {
+        if (!performanceTestsEnabled())
+            return;
+
+        List<View> separate = createGroupedViews("separate");
+        long start = System.currentTimeMillis();
+        for (View view : separate)
+            assertEquals(Status.OK, view.updateIndexAlone().getCode());
+        long end = System.currentTimeMillis();
+        logPerformanceStats((end - start), getNumberOfDocuments() + ", " +
+                getNumberOfViews() + " views, separately");
+    }
+
+    /**
+     * Indexes the same views as testSeparateViewIndexPerformance, but they share a group prefix
+     * and are indexed together with updateIndexes(), in one pass over the changed revisions,
+     * which is what View.updateIndex() does for grouped views.
+     */
+    public void testGroupedViewIndexPerformance() throws CouchbaseLiteException {
+        if (!performanceTestsEnabled())
+            return;
+
+        List<View> grouped = createGroupedViews("grouped");
+        long start = System.currentTimeMillis();
+        assertEquals(Status.OK, grouped.get(0).updateIndexes(grouped).getCode());
+        long end = System.currentTimeMillis();
+        logPerformanceStats((end - start), getNumberOfDocuments() + ", " +
+                getNumberOfViews() + " views, grouped");
+    }
+
+    private List<View> createGroupedViews(String group) {
+        final int numberOfViews = getNumberOfViews();
+        List<View> views = new ArrayList<View>();
+        for (int i = 0; i < numberOfViews; i++) {
+            final int viewIndex = i;
+            View view = database.getView(group + "/" + i);
+            view.setMap(new Mapper() {
+                public void map(Map<String, Object> document, Emitter emitter) {
+                    Integer apt = (Integer) document.get("apt");
+                    if (apt != null && apt % numberOfViews == viewIndex)
+                        emitter.emit(document.get("name"), apt);
+                }
+            }, "1.0.0");
+            views.add(view);
+        }
+        return views;
+    }
+
+    private int getNumberOfViews() {
+        return Integer.parseInt(System.getProperty("test12.numberOfViews"));
+    }
+
     private int getNumberOfDocuments() {
         return Integer.parseInt(System.getProperty("test12.numberOfDocuments"));
     }
@@ -93,24 +93,89 @@ public class Test13_QueryView extends PerformanceTestCase {
         view.updateIndex();
     }
 
-    public void testQueryViewPerformance() throws CouchbaseLiteException {
+    public void testQueryViewPerformance() throws Exception {
         if (!performanceTestsEnabled())
             return;
 
-        View view = database.getView("vacant");
+        final View view = database.getView("vacant");
+
+        measurePerformance(new PerformanceTask() {
+            @Override
+            public void run() throws Exception {
+                Query query = view.createQuery();
+                query.setDescending(false);
+                query.setMapOnly(true);
+                QueryEnumerator rowEnum = query.run();
+                while (rowEnum.hasNext()) {
+                    QueryRow row = rowEnum.next();
+                    assertNotNull(row.getKey());
+                    assertNotNull(row.getValue());
+                }
+            }
+        }, getNumberOfDocuments() + "");
+    }
+
+    /**
+     * Walks the same view in pages of test13.pageSize rows, keyed on the last row of the previous
+     * page, so that only one page of rows is materialized at a time. Measures the time to the
+     * first page separately from the time for the whole scan.
+     */
+    public void testPagedQueryViewPerformance() throws Exception {
+        if (!performanceTestsEnabled())
+            return;
+
+        final View view = database.getView("vacant");
+        final int pageSize = getPageSize();
 
-        long start = System.currentTimeMillis();
-        Query query = view.createQuery();
-        query.setDescending(false);
-        query.setMapOnly(true);
-        QueryEnumerator rowEnum = query.run();
-        while (rowEnum.hasNext()) {
-            QueryRow row = rowEnum.next();
-            assertNotNull(row.getKey());
-            assertNotNull(row.getValue());
+        measurePerformance(new PerformanceTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(Math.min(pageSize, (getNumberOfDocuments() + 1) / 2),
+                        queryPages(view, pageSize, true));
+            }
+        }, getNumberOfDocuments() + ", first page of " + pageSize);
+
+        measurePerformance(new PerformanceTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals((getNumberOfDocuments() + 1) / 2,
+                        queryPages(view, pageSize, false));
+            }
+        }, getNumberOfDocuments() + ", pages of " + pageSize);
+    }
+
+    private static int queryPages(View view, int pageSize, boolean firstPageOnly)
+            throws CouchbaseLiteException {
+        int totalRows = 0;
+        Object lastKey = null;
+        String lastDocId = null;
+        while (true) {
+            Query query = view.createQuery();
+            query.setMapOnly(true);
+            query.setLimit(pageSize);
+            if (lastKey != null) {
+                query.setStartKey(lastKey);
+                query.setStartKeyDocId(lastDocId);
+                query.setSkip(1);
+            }
+            QueryEnumerator rowEnum = query.run();
+            int count = 0;
+            while (rowEnum.hasNext()) {
+                QueryRow row = rowEnum.next();
+                assertNotNull(row.getKey());
+                assertNotNull(row.getValue());
+                lastKey = row.getKey();
+                lastDocId = row.getDocumentId();
+                count++;
+            }
+            totalRows += count;
+            if (firstPageOnly || count < pageSize)
+                return totalRows;
         }
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + "");
+    }
+
+    private int getPageSize() {
+        return Integer.parseInt(System.getProperty("test13.pageSize"));
     }
 
     private int getNumberOfDocuments() {
@@ -92,20 +92,22 @@ public class Test14_ReduceView extends PerformanceTestCase {
         view.updateIndex();
     }
 
-    public void testViewReducePerformance() throws CouchbaseLiteException {
+    public void testViewReducePerformance() throws Exception {
         if (!performanceTestsEnabled())
             return;
 
-        View view = database.getView("vacant");
+        final View view = database.getView("vacant");
 
-        long start = System.currentTimeMillis();
-        Query query = view.createQuery();
-        query.setMapOnly(false);
-        QueryEnumerator rowEnum = query.run();
-        QueryRow row = rowEnum.getRow(0);
-        assertNotNull(row.getValue());
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + "");
+        measurePerformance(new PerformanceTask() {
+            @Override
+            public void run() throws Exception {
+                Query query = view.createQuery();
+                query.setMapOnly(false);
+                QueryEnumerator rowEnum = query.run();
+                QueryRow row = rowEnum.getRow(0);
+                assertNotNull(row.getValue());
+            }
+        }, getNumberOfDocuments() + "");
     }
 
     private int getNumberOfDocuments() {
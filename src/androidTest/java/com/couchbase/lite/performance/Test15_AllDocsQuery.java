@@ -66,19 +66,21 @@ public class Test15_AllDocsQuery extends PerformanceTestCase {
         assertTrue(success);
     }
 
-    public void testAllDocsQueryPerformance() throws CouchbaseLiteException {
+    public void testAllDocsQueryPerformance() throws Exception {
         if (!performanceTestsEnabled())
             return;
 
-        long start = System.currentTimeMillis();
-        Query query = database.createAllDocumentsQuery();
-        QueryEnumerator rowEnum = query.run();
-        while (rowEnum.hasNext()) {
-            QueryRow row = rowEnum.next();
-            assertNotNull(row.getDocumentId());
-        }
-        long end = System.currentTimeMillis();
-        logPerformanceStats((end - start), getNumberOfDocuments() + ", " + getSizeOfDocument());
+        measurePerformance(new PerformanceTask() {
+            @Override
+            public void run() throws Exception {
+                Query query = database.createAllDocumentsQuery();
+                QueryEnumerator rowEnum = query.run();
+                while (rowEnum.hasNext()) {
+                    QueryRow row = rowEnum.next();
+                    assertNotNull(row.getDocumentId());
+                }
+            }
+        }, getNumberOfDocuments() + ", " + getSizeOfDocument());
     }
 
     private int getSizeOfDocument() {
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2016 Couchbase, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.couchbase.lite.performance;
+
+import com.couchbase.lite.mockserver.MockDispatcher;
+import com.couchbase.lite.mockserver.MockHelper;
+import com.couchbase.lite.replicator.Replication;
+
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Pull replication from a preloaded mock Sync Gateway. Unlike Test07, this needs no server and
+ * measures only the client side of the pipeline (_changes, _bulk_get and inserts), with an
+ * optional simulated _bulk_get latency.
+ */
+public class Test17_MockPullReplication extends PerformanceTestCase {
+    public static final String TAG = "MockPullReplicationPerformance";
+
+    @Override
+    protected String getTestTag() {
+        return TAG;
+    }
+
+    public void testMockPullReplicationPerformance() throws Exception {
+        if (!performanceTestsEnabled())
+            return;
+
+        MockDispatcher dispatcher = new MockDispatcher();
+        MockWebServer server = MockHelper.getPreloadedPullTargetMockSyncGateway(dispatcher,
+                getNumberOfDocuments(), getNumberOfDocsPerChangesResponse(), getBulkGetDelayMs());
+        try {
+            server.start();
+
+            long start = System.currentTimeMillis();
+            Replication repl = database.createPullReplication(server.url("/db").url());
+            repl.setContinuous(false);
+            runReplication(repl);
+            long end = System.currentTimeMillis();
+
+            assertEquals(getNumberOfDocuments(), database.getDocumentCount());
+            logPerformanceStats((end - start), getNumberOfDocuments() + ", " +
+                    getNumberOfDocsPerChangesResponse() + ", " + getBulkGetDelayMs());
+        } finally {
+            MockHelper.shutdown(server, dispatcher);
+        }
+    }
+
+    private int getNumberOfDocuments() {
+        return Integer.parseInt(System.getProperty("test17.numberOfDocuments"));
+    }
+
+    private int getNumberOfDocsPerChangesResponse() {
+        return Integer.parseInt(System.getProperty("test17.numberOfDocsPerChangesResponse"));
+    }
+
+    private long getBulkGetDelayMs() {
+        return Long.parseLong(System.getProperty("test17.bulkGetDelayMs"));
+    }
+}
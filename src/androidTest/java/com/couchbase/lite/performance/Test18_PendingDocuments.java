@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2016 Couchbase, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package com.couchbase.lite.performance;
+
+import com.couchbase.lite.CouchbaseLiteException;
+import com.couchbase.lite.Document;
+import com.couchbase.lite.TransactionalTask;
+import com.couchbase.lite.replicator.Replication;
+import com.couchbase.lite.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calls Replication.isDocumentPending() once per unpushed document, the way a list UI showing a
+ * "not synced" badge per row would. The replication is never started, so no server is needed.
+ */
+public class Test18_PendingDocuments extends PerformanceTestCase {
+    public static final String TAG = "PendingDocumentsPerformance";
+    private List<Document> docs;
+
+    @Override
+    protected String getTestTag() {
+        return TAG;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        if (!performanceTestsEnabled())
+            return;
+
+        docs = new ArrayList<Document>();
+        boolean success = database.runInTransaction(new TransactionalTask() {
+            public boolean run() {
+                for (int i = 0; i < getNumberOfDocuments(); i++) {
+                    Map<String, Object> props = new HashMap<String, Object>();
+                    props.put("index", i);
+                    Document doc = database.createDocument();
+                    try {
+                        doc.putProperties(props);
+                        docs.add(doc);
+                    } catch (CouchbaseLiteException e) {
+                        Log.e(TAG, "Document create failed", e);
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+        assertTrue(success);
+    }
+
+    public void testIsDocumentPendingPerformance() throws Exception {
+        if (!performanceTestsEnabled())
+            return;
+
+        measurePerformance(new PendingTask() {
+            @Override
+            public void run() throws Exception {
+                for (Document doc : docs)
+                    assertTrue(repl.isDocumentPending(doc));
+            }
+        }, getNumberOfDocuments() + ", isDocumentPending");
+
+        measurePerformance(new PendingTask() {
+            @Override
+            public void run() throws Exception {
+                Set<String> pending = repl.getPendingDocumentIDs();
+                assertEquals(getNumberOfDocuments(), pending.size());
+            }
+        }, getNumberOfDocuments() + ", getPendingDocumentIDs");
+    }
+
+    /**
+     * Reopens the database before each round so that documents and their current revisions are
+     * loaded again, and creates a new replication on the reopened database.
+     */
+    private abstract class PendingTask extends PerformanceTask {
+        protected Replication repl;
+
+        @Override
+        protected void setUp() throws Exception {
+            reopenDatabase();
+            for (int i = 0; i < docs.size(); i++)
+                docs.set(i, database.getDocument(docs.get(i).getId()));
+            repl = database.createPushReplication(getReplicationUrl());
+        }
+    }
+
+    private int getNumberOfDocuments() {
+        return Integer.parseInt(System.getProperty("test18.numberOfDocuments"));
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -33,6 +34,10 @@ import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
 
 public class ChangeTrackerTest extends LiteTestCaseWithDB {
 
@@ -133,6 +138,128 @@ public class ChangeTrackerTest extends LiteTestCaseWithDB {
         }
     }
 
+    /**
+     * Changes must be delivered to the client while the _changes response is still being read.
+     * The mock response below holds back everything after the first few changes until the client
+     * has received one; a tracker that buffers the whole response would never get there.
+     */
+    public void testChangeTrackerStreamsOneShotFeed() throws Throwable {
+        final int numChanges = 5000;
+        final int numChangesInFirstChunk = 10;
+        final CountDownLatch firstChangeSignal = new CountDownLatch(1);
+        final CountDownLatch allChangesSignal = new CountDownLatch(numChanges);
+        final CountDownLatch finishedSignal = new CountDownLatch(1);
+        final AtomicInteger lastSeq = new AtomicInteger(0);
+        final AtomicInteger outOfOrder = new AtomicInteger(0);
+
+        final StringBuilder first = new StringBuilder("{\"results\":[\n");
+        final StringBuilder rest = new StringBuilder();
+        for (int i = 1; i <= numChanges; i++) {
+            StringBuilder sb = i <= numChangesInFirstChunk ? first : rest;
+            sb.append(String.format(Locale.ENGLISH,
+                    "{\"seq\":%d,\"id\":\"doc%d\",\"changes\":[{\"rev\":\"1-%d\"}]}%s\n",
+                    i, i, i, i < numChanges ? "," : ""));
+        }
+        rest.append("],\n\"last_seq\":").append(numChanges).append("}");
+
+        ChangeTrackerClient client = new DefaultChangeTrackerClient() {
+            @Override
+            public void changeTrackerStopped(ChangeTracker tracker) {
+                finishedSignal.countDown();
+            }
+
+            @Override
+            public void changeTrackerReceivedChange(Map<String, Object> change) {
+                int seq = ((Number) change.get("seq")).intValue();
+                if (seq != lastSeq.get() + 1)
+                    outOfOrder.incrementAndGet();
+                lastSeq.set(seq);
+                firstChangeSignal.countDown();
+                allChangesSignal.countDown();
+            }
+
+            @Override
+            public OkHttpClient getOkHttpClient() {
+                Interceptor interceptor = new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) throws IOException {
+                        Request request = chain.request();
+                        Source source = new HeldBackSource(first.toString(), rest.toString(),
+                                firstChangeSignal);
+                        return new Response.Builder()
+                                .request(request)
+                                .code(200)
+                                .protocol(Protocol.HTTP_1_1)
+                                .body(ResponseBody.create(OkHttpUtils.JSON, -1,
+                                        Okio.buffer(source)))
+                                .build();
+                    }
+                };
+                return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+            }
+        };
+
+        ChangeTracker changeTracker = new ChangeTracker(getReplicationURL(),
+                ChangeTracker.ChangeTrackerMode.OneShot, false, 0L, client);
+        changeTracker.setUsePOST(isTestingAgainstSyncGateway());
+        changeTracker.start();
+
+        assertTrue(allChangesSignal.await(60, TimeUnit.SECONDS));
+        assertEquals(numChanges, lastSeq.get());
+        assertEquals(0, outOfOrder.get());
+        changeTracker.stop();
+        assertTrue(finishedSignal.await(30, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the first part immediately and the second part only after the signal is released.
+     */
+    private static class HeldBackSource implements Source {
+        private final String first;
+        private final String rest;
+        private final CountDownLatch signal;
+        private final Buffer pending = new Buffer();
+        private int part = 0;
+
+        HeldBackSource(String first, String rest, CountDownLatch signal) {
+            this.first = first;
+            this.rest = rest;
+            this.signal = signal;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            if (pending.size() == 0) {
+                switch (part++) {
+                    case 0:
+                        pending.writeUtf8(first);
+                        break;
+                    case 1:
+                        try {
+                            if (!signal.await(30, TimeUnit.SECONDS))
+                                throw new IOException("No change delivered before end of response");
+                        } catch (InterruptedException e) {
+                            throw new IOException(e.toString());
+                        }
+                        pending.writeUtf8(rest);
+                        break;
+                    default:
+                        return -1;
+                }
+            }
+            return pending.read(sink, Math.min(byteCount, pending.size()));
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
     public void testChangeTrackerWithConflictsIncluded() throws Throwable {
         ChangeTracker changeTracker = new ChangeTracker(getReplicationURL(),
                 ChangeTracker.ChangeTrackerMode.LongPoll, true, 0L, null);
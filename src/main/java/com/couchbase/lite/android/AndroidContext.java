@@ -26,6 +26,7 @@ import java.util.Locale;
 public class AndroidContext implements Context {
     private android.content.Context wrappedContext;
     private NetworkReachabilityManager networkReachabilityManager;
+    private int walConnectionPoolSize = AndroidSQLiteStorageEngine.DEFAULT_WAL_CONNECTION_POOL_SIZE;
 
     public AndroidContext(android.content.Context wrappedContext) {
         this.wrappedContext = wrappedContext;
@@ -58,9 +59,24 @@ public class AndroidContext implements Context {
         return networkReachabilityManager;
     }
 
+    /**
+     * Sets the maximum number of SQLite connections used by databases opened through this
+     * context in WAL mode (one writer, the rest read-only). Takes effect for databases opened
+     * after the call. AndroidSQLiteStorageEngine.DEFAULT_WAL_CONNECTION_POOL_SIZE restores the
+     * platform default.
+     */
+    public void setWALConnectionPoolSize(int walConnectionPoolSize) {
+        AndroidSQLiteStorageEngine.checkWALConnectionPoolSize(walConnectionPoolSize);
+        this.walConnectionPoolSize = walConnectionPoolSize;
+    }
+
+    public int getWALConnectionPoolSize() {
+        return walConnectionPoolSize;
+    }
+
     @Override
     public SQLiteStorageEngineFactory getSQLiteStorageEngineFactory() {
-        return new AndroidSQLiteStorageEngineFactory(wrappedContext);
+        return new AndroidSQLiteStorageEngineFactory(wrappedContext, walConnectionPoolSize);
     }
 
     @Override
@@ -23,12 +23,36 @@ import com.couchbase.lite.storage.SQLiteStorageEngineBase;
 import com.couchbase.lite.util.ICUUtils;
 
 public class AndroidSQLiteStorageEngine extends SQLiteStorageEngineBase {
+    /**
+     * Use the connection pool size chosen for the running Android version.
+     */
+    public static final int DEFAULT_WAL_CONNECTION_POOL_SIZE = 0;
+
     private android.content.Context context;
     private final AndroidPlatformSupport platformSupport;
+    private final int walConnectionPoolSize;
 
     public AndroidSQLiteStorageEngine(android.content.Context context) {
+        this(context, DEFAULT_WAL_CONNECTION_POOL_SIZE);
+    }
+
+    /**
+     * @param walConnectionPoolSize maximum number of connections in WAL mode: one writer plus
+     *                              (size - 1) read-only connections that concurrent readers are
+     *                              handed out from. DEFAULT_WAL_CONNECTION_POOL_SIZE keeps the
+     *                              platform default. Below LOLLIPOP a single connection is always
+     *                              used, whatever the value.
+     */
+    public AndroidSQLiteStorageEngine(android.content.Context context, int walConnectionPoolSize) {
+        checkWALConnectionPoolSize(walConnectionPoolSize);
         this.context = context;
         this.platformSupport = new AndroidPlatformSupport();
+        this.walConnectionPoolSize = walConnectionPoolSize;
+    }
+
+    static void checkWALConnectionPoolSize(int walConnectionPoolSize) {
+        if (walConnectionPoolSize < 0)
+            throw new IllegalArgumentException("walConnectionPoolSize must not be negative");
     }
 
     @Override
@@ -55,6 +79,9 @@ public class AndroidSQLiteStorageEngine extends SQLiteStorageEngineBase {
         // We observed SQLCipher crashes with multiple connections on Android API 19 (x86).
         // Android 5.x (LOLLIPOP/API21) or higher uses multiple connections.
         // Android 4.x (API 20) or lower uses single connection mode.
-        return Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP ? 1 : 4;
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP)
+            return 1;
+        return walConnectionPoolSize != DEFAULT_WAL_CONNECTION_POOL_SIZE ?
+                walConnectionPoolSize : 4;
     }
 }
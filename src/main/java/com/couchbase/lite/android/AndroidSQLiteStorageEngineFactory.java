@@ -19,13 +19,20 @@ import com.couchbase.lite.storage.SQLiteStorageEngineFactory;
 
 public class AndroidSQLiteStorageEngineFactory implements SQLiteStorageEngineFactory {
     private android.content.Context context = null;
+    private final int walConnectionPoolSize;
 
     public AndroidSQLiteStorageEngineFactory(android.content.Context context) {
+        this(context, AndroidSQLiteStorageEngine.DEFAULT_WAL_CONNECTION_POOL_SIZE);
+    }
+
+    public AndroidSQLiteStorageEngineFactory(android.content.Context context,
+                                             int walConnectionPoolSize) {
         this.context = context;
+        this.walConnectionPoolSize = walConnectionPoolSize;
     }
 
     @Override
     public SQLiteStorageEngine createStorageEngine() throws CouchbaseLiteException {
-        return new AndroidSQLiteStorageEngine(context);
+        return new AndroidSQLiteStorageEngine(context, walConnectionPoolSize);
     }
 }
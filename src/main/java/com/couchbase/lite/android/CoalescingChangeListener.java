@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2016 Couchbase, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package com.couchbase.lite.android;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.couchbase.lite.Database;
+import com.couchbase.lite.DocumentChange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Database.ChangeListener that merges consecutive change events into one and delivers them to
+ * the wrapped listener on the given Looper (typically the main looper).
+ *
+ * Changes are held for at most maxDelay milliseconds after the first one arrives. A delivered
+ * event never carries more than maxBatchSize changes: pending changes are delivered before an
+ * incoming event that would not fit, and a single event with more than maxBatchSize changes
+ * (e.g. a large transaction) is split. Events from a different database or with a different
+ * isExternal flag are never merged together.
+ *
+ * Register the CoalescingChangeListener itself with Database.addChangeListener() and keep a
+ * reference to it. To unregister, call Database.removeChangeListener() with it and then either
+ * flush(), to still deliver the changes that are pending, or cancel(), to drop them. Without
+ * one of those calls pending changes are never delivered, and a delivery that was already
+ * scheduled may still reach the wrapped listener after removal.
+ */
+public class CoalescingChangeListener implements Database.ChangeListener {
+    private final Database.ChangeListener listener;
+    private final Handler handler;
+    private final long maxDelay;
+    private final int maxBatchSize;
+
+    private Database pendingSource;
+    private boolean pendingExternal;
+    private List<DocumentChange> pendingChanges = new ArrayList<DocumentChange>();
+    private boolean scheduled;
+    private boolean cancelled;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    public CoalescingChangeListener(Database.ChangeListener listener, long maxDelay,
+                                    int maxBatchSize) {
+        this(listener, Looper.getMainLooper(), maxDelay, maxBatchSize);
+    }
+
+    public CoalescingChangeListener(Database.ChangeListener listener, Looper looper,
+                                    long maxDelay, int maxBatchSize) {
+        if (listener == null)
+            throw new IllegalArgumentException("listener must not be null");
+        if (maxDelay < 0)
+            throw new IllegalArgumentException("maxDelay must not be negative");
+        if (maxBatchSize < 1)
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        this.listener = listener;
+        this.handler = new Handler(looper);
+        this.maxDelay = maxDelay;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void changed(Database.ChangeEvent event) {
+        List<DocumentChange> changes = event.getChanges();
+        if (changes == null || changes.isEmpty())
+            return;
+
+        synchronized (this) {
+            if (cancelled)
+                return;
+
+            if (!pendingChanges.isEmpty() &&
+                    (pendingSource != event.getSource() ||
+                            pendingExternal != event.isExternal() ||
+                            pendingChanges.size() + changes.size() > maxBatchSize))
+                postPending();
+
+            pendingSource = event.getSource();
+            pendingExternal = event.isExternal();
+            for (DocumentChange change : changes) {
+                pendingChanges.add(change);
+                if (pendingChanges.size() >= maxBatchSize)
+                    postPending();
+            }
+
+            if (!pendingChanges.isEmpty() && !scheduled) {
+                scheduled = true;
+                handler.postDelayed(flushTask, maxDelay);
+            }
+        }
+    }
+
+    /**
+     * Posts any pending changes to the Looper right away instead of waiting for the delay to
+     * expire. Delivery still happens asynchronously on the Looper's thread.
+     */
+    public synchronized void flush() {
+        if (!pendingChanges.isEmpty())
+            postPending();
+        else
+            cancelScheduled();
+    }
+
+    /**
+     * Drops pending changes and stops all further deliveries to the wrapped listener, including
+     * ones that were already scheduled. A cancelled listener ignores new events.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        cancelScheduled();
+        pendingChanges = new ArrayList<DocumentChange>();
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void postPending() {
+        cancelScheduled();
+        final Database.ChangeEvent merged =
+                new Database.ChangeEvent(pendingSource, pendingExternal, pendingChanges);
+        pendingChanges = new ArrayList<DocumentChange>();
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (!isCancelled())
+                    listener.changed(merged);
+            }
+        });
+    }
+
+    private void cancelScheduled() {
+        if (scheduled) {
+            handler.removeCallbacks(flushTask);
+            scheduled = false;
+        }
+    }
+}